@@ -1,7 +1,11 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 
 public class Build {
@@ -54,6 +58,72 @@ public class Build {
     return longest;
   }
 
+  /**
+   * Returns every vertex reachable from the given vertex, in the same depth-first preorder that
+   * the recursive helpers visit them. Uses an explicit stack, so deep graphs do not overflow.
+   *
+   * @param vertex the starting vertex
+   * @param <T> the type of values stored in the vertices
+   * @return the reachable vertices, or an empty list if the vertex is null
+   */
+  public static <T> List<Vertex<T>> collectReachable(Vertex<T> vertex) {
+    List<Vertex<T>> reachable = new ArrayList<>();
+    Set<Vertex<T>> visited = new HashSet<>();
+    Deque<Vertex<T>> stack = new ArrayDeque<>();
+    if (vertex != null) stack.push(vertex);
+
+    while (!stack.isEmpty()) {
+      Vertex<T> current = stack.pop();
+      if (!visited.add(current)) continue;
+
+      reachable.add(current);
+      List<Vertex<T>> neighbors = current.neighbors;
+      for (int i = neighbors.size() - 1; i >= 0; i--) {
+        Vertex<T> neighbor = neighbors.get(i);
+        if (neighbor != null && !visited.contains(neighbor)) stack.push(neighbor);
+      }
+    }
+
+    return reachable;
+  }
+
+  /**
+   * Same as {@link #printShortWords(Vertex, int)}, but collects the reachable vertices first and
+   * filters them with a parallel stream. Words are printed in the same order as the sequential version.
+   *
+   * @param vertex the starting vertex
+   * @param k the maximum word length (exclusive)
+   */
+  public static void printShortWordsParallel(Vertex<String> vertex, int k) {
+    for (String word : shortWordsOf(collectReachable(vertex), k)) {
+      System.out.println(word);
+    }
+  }
+
+  public static List<String> shortWordsOf(List<Vertex<String>> reachable, int k) {
+    return reachable.parallelStream()
+        .map(v -> v.data)
+        .filter(word -> word.length() < k)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Same as {@link #longestWord(Vertex)}, but collects the reachable vertices first and finds the
+   * longest word with a parallel reduction. Ties go to the word visited first, as in the sequential version.
+   *
+   * @param vertex the starting vertex
+   * @return the longest reachable word, or an empty string if the vertex is null
+   */
+  public static String longestWordParallel(Vertex<String> vertex) {
+    return longestWordOf(collectReachable(vertex));
+  }
+
+  public static String longestWordOf(List<Vertex<String>> reachable) {
+    return reachable.parallelStream()
+        .map(v -> v.data)
+        .reduce("", (longest, word) -> word.length() > longest.length() ? word : longest);
+  }
+
   /**
    * Prints the values of all vertices that are reachable from the given vertex and 
    * have themself as a neighbor.
@@ -103,6 +173,41 @@ public class Build {
     return false;
   }
 
+  /**
+   * Budgeted variant of {@link #canReach(Airport, Airport)}. The traversal stops as soon as the
+   * budget is exhausted and reports {@link Reachability#UNKNOWN} instead of running to completion.
+   *
+   * @param start the starting airport
+   * @param destination the destination airport
+   * @param budget the limits for this traversal
+   * @return whether the destination is reachable, or UNKNOWN if the budget ran out first
+   */
+  public static Reachability canReach(Airport start, Airport destination, TraversalBudget budget) {
+    if (start == null || destination == null) return Reachability.UNREACHABLE;
+    Set<Airport> visited = new HashSet<>();
+    return canReachHelper(start, destination, visited, budget);
+  }
+
+  public static Reachability canReachHelper(Airport start, Airport destination, Set<Airport> visited, TraversalBudget budget) {
+    Deque<Airport> stack = new ArrayDeque<>();
+    stack.push(start);
+
+    while (!stack.isEmpty()) {
+      Airport current = stack.pop();
+      if (current == destination) return Reachability.REACHABLE;
+      if (!visited.add(current)) continue;
+      if (!budget.tryVisitVertex()) return Reachability.UNKNOWN;
+
+      for (Airport flight : current.getOutboundFlights()) {
+        if (!budget.tryScanEdge()) return Reachability.UNKNOWN;
+        if (flight == destination) return Reachability.REACHABLE;
+        if (!visited.contains(flight)) stack.push(flight);
+      }
+    }
+
+    return Reachability.UNREACHABLE;
+  }
+
   /**
    * Returns the set of all values in the graph that cannot be reached from the given starting value.
    * The graph is represented as a map where each vertex is associated with a list of its neighboring values.
@@ -137,4 +242,50 @@ public class Build {
     }
     return visited;
   }
+
+  /**
+   * Budgeted variant of {@link #unreachable(Map, Object)}. If the budget runs out, the result is
+   * marked incomplete and holds every key not visited so far, which is a superset of the keys
+   * that are truly unreachable.
+   *
+   * @param graph the graph represented as a map of vertices to neighbors
+   * @param starting the starting value
+   * @param budget the limits for this traversal
+   * @param <T> the type of values stored in the graph
+   * @return the unreachable values, flagged with whether the traversal completed
+   */
+  public static <T> PartialResult<Set<T>> unreachable(Map<T, List<T>> graph, T starting, TraversalBudget budget) {
+    Set<T> unreachable = new HashSet<>();
+    if (graph == null) return new PartialResult<>(unreachable, true);
+    Set<T> visited = new HashSet<>();
+
+    boolean complete = unreachableHelper(graph, starting, visited, budget);
+
+    for (T key : graph.keySet()) {
+      if (!visited.contains(key)) unreachable.add(key);
+    }
+
+    return new PartialResult<>(unreachable, complete);
+  }
+
+  public static <T> boolean unreachableHelper(Map<T, List<T>> graph, T starting, Set<T> visited, TraversalBudget budget) {
+    if (starting == null || !graph.containsKey(starting)) return true;
+    Deque<T> stack = new ArrayDeque<>();
+    stack.push(starting);
+
+    while (!stack.isEmpty()) {
+      T current = stack.pop();
+      if (!visited.add(current)) continue;
+      if (!budget.tryVisitVertex()) return false;
+
+      List<T> neighbors = graph.get(current);
+      if (neighbors == null) continue;
+      for (T neighbor : neighbors) {
+        if (!budget.tryScanEdge()) return false;
+        if (neighbor != null && graph.containsKey(neighbor) && !visited.contains(neighbor)) stack.push(neighbor);
+      }
+    }
+
+    return true;
+  }
 }
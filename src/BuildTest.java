@@ -11,6 +11,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.List;
+import java.util.TreeMap;
 
 public class BuildTest {
 
@@ -387,6 +388,78 @@ public class BuildTest {
     assertEquals("klmno", Build.longestWord(ab));
   }
 
+  // ====================================================
+  // Tests for collectReachable and the parallel word queries
+  // ====================================================
+
+  /**
+   * Builds the forked, cyclic string graph used by the complex word tests.
+   */
+  private Vertex<String> buildComplexWordGraph() {
+    Vertex<String> ab     = new Vertex<>("ab");
+    Vertex<String> cde    = new Vertex<>("cde");
+    Vertex<String> f      = new Vertex<>("f");
+    Vertex<String> ghij   = new Vertex<>("ghij");
+    Vertex<String> klmno  = new Vertex<>("klmno");
+    Vertex<String> pqr    = new Vertex<>("pqr");
+    Vertex<String> st     = new Vertex<>("st");
+    Vertex<String> vwxyz  = new Vertex<>("vwxyz");
+
+    ab.neighbors   = new ArrayList<>(Arrays.asList(cde, f, ghij));
+    cde.neighbors  = new ArrayList<>(Arrays.asList(klmno, f));
+    f.neighbors    = new ArrayList<>(Arrays.asList(pqr));
+    ghij.neighbors = new ArrayList<>(Arrays.asList(cde, st, vwxyz));
+    st.neighbors   = new ArrayList<>(Arrays.asList(ab)); // cycle
+    return ab;
+  }
+
+  @Test
+  public void testCollectReachable_Null() {
+    assertTrue(Build.collectReachable(null).isEmpty());
+  }
+
+  @Test
+  public void testCollectReachable_PreorderWithCycle() {
+    Vertex<String> root = buildComplexWordGraph();
+    List<String> words = new ArrayList<>();
+    for (Vertex<String> v : Build.collectReachable(root)) words.add(v.data);
+    assertEquals(Arrays.asList("ab", "cde", "klmno", "f", "pqr", "ghij", "st", "vwxyz"), words);
+  }
+
+  @Test
+  public void testLongestWordParallel_MatchesSequential() {
+    Vertex<String> root = buildComplexWordGraph();
+    // "klmno" and "vwxyz" tie; the one visited first wins in both versions.
+    assertEquals("klmno", Build.longestWord(root));
+    assertEquals("klmno", Build.longestWordParallel(root));
+    assertEquals("", Build.longestWordParallel(null));
+  }
+
+  @Test
+  public void testPrintShortWordsParallel_MatchesSequentialOrder() {
+    Vertex<String> root = buildComplexWordGraph();
+    String sequential = captureOutput(() -> Build.printShortWords(root, 4));
+    String parallel = captureOutput(() -> Build.printShortWordsParallel(root, 4));
+    assertEquals(sequential, parallel);
+    assertEquals("", captureOutput(() -> Build.printShortWordsParallel(null, 4)));
+  }
+
+  @Test
+  public void testParallelWords_LargeGraph() {
+    Vertex<String> root = new Vertex<>("w0");
+    Vertex<String> current = root;
+    for (int i = 1; i < 200_000; i++) {
+      Vertex<String> next = new Vertex<>("w" + i);
+      current.neighbors.add(next);
+      current = next;
+    }
+    List<Vertex<String>> reachable = Build.collectReachable(root);
+    assertEquals(200_000, reachable.size());
+    assertEquals("w100000", Build.longestWordOf(reachable));
+    assertEquals(Arrays.asList("w0", "w1", "w2", "w3", "w4", "w5", "w6", "w7", "w8", "w9"),
+                 Build.shortWordsOf(reachable, 3));
+  }
+
   // ====================================================
   // Tests for printSelfLoopers(Vertex<T>)
   // ====================================================
@@ -504,6 +577,70 @@ public class BuildTest {
     assertTrue(Build.canReach(data.phx, data.mia));
   }
 
+  // ====================================================
+  // Tests for canReach(Airport, Airport, TraversalBudget)
+  // ====================================================
+
+  @Test
+  public void testCanReachBudgeted_Unlimited() {
+    AirportData data = buildAirportData();
+    assertEquals(Reachability.REACHABLE, Build.canReach(data.phx, data.mia, TraversalBudget.unlimited()));
+    assertEquals(Reachability.UNREACHABLE, Build.canReach(data.dfw, data.atl, TraversalBudget.unlimited()));
+  }
+
+  @Test
+  public void testCanReachBudgeted_VertexLimitExhausted() {
+    AirportData data = buildAirportData();
+    // DFW -> LAS needs two visits to prove ATL is unreachable.
+    TraversalBudget budget = new TraversalBudget(1, TraversalBudget.UNLIMITED, TraversalBudget.UNLIMITED);
+    assertEquals(Reachability.UNKNOWN, Build.canReach(data.dfw, data.atl, budget));
+    assertTrue(budget.isExhausted());
+  }
+
+  @Test
+  public void testCanReachBudgeted_EdgeLimitExhausted() {
+    AirportData data = buildAirportData();
+    // Scanning ATL's flights (JFK, SFO) uses both edges; SFO is popped next and SFO -> SEA hits the limit.
+    TraversalBudget budget = new TraversalBudget(TraversalBudget.UNLIMITED, 2, TraversalBudget.UNLIMITED);
+    assertEquals(Reachability.UNKNOWN, Build.canReach(data.atl, data.las, budget));
+  }
+
+  @Test
+  public void testCanReachBudgeted_Cancelled() {
+    AirportData data = buildAirportData();
+    TraversalBudget budget = TraversalBudget.unlimited();
+    budget.cancel();
+    assertEquals(Reachability.UNKNOWN, Build.canReach(data.atl, data.las, budget));
+  }
+
+  @Test
+  public void testCanReachBudgeted_DeadlineExhausted() {
+    // The clock is read every 1024 steps, so the chain must be longer than that to hit a 0 ms deadline.
+    Airport first = new Airport("First", "A0", new ArrayList<>());
+    Airport current = first;
+    for (int i = 1; i < 5_000; i++) {
+      Airport next = new Airport("Airport " + i, "A" + i, new ArrayList<>());
+      current.getOutboundFlights().add(next);
+      current = next;
+    }
+    Airport elsewhere = new Airport("Elsewhere", "ELS", new ArrayList<>());
+    TraversalBudget budget = new TraversalBudget(TraversalBudget.UNLIMITED, TraversalBudget.UNLIMITED, 0);
+    assertEquals(Reachability.UNKNOWN, Build.canReach(first, elsewhere, budget));
+    assertTrue(budget.isExhausted());
+  }
+
+  @Test
+  public void testCanReachBudgeted_DeepChainNoStackOverflow() {
+    Airport first = new Airport("First", "A0", new ArrayList<>());
+    Airport current = first;
+    for (int i = 1; i < 100_000; i++) {
+      Airport next = new Airport("Airport " + i, "A" + i, new ArrayList<>());
+      current.getOutboundFlights().add(next);
+      current = next;
+    }
+    assertEquals(Reachability.REACHABLE, Build.canReach(first, current, TraversalBudget.unlimited()));
+  }
+
   // ====================================================
   // Tests for unreachable(Map<T, List<T>>, T)
   // ====================================================
@@ -609,4 +746,55 @@ public class BuildTest {
     Set<String> expected = new HashSet<>(Arrays.asList("A", "C", "E", "F"));
     assertEquals(expected, unreachable);
   }
+
+  // ====================================================
+  // Tests for unreachable(Map<T, List<T>>, T, TraversalBudget)
+  // ====================================================
+
+  @Test
+  public void testUnreachableBudgeted_Complete() {
+    Map<String, List<String>> graph = new HashMap<>();
+    graph.put("A", Arrays.asList("B", "C"));
+    graph.put("B", Arrays.asList("D"));
+    graph.put("C", new ArrayList<>());
+    graph.put("D", new ArrayList<>());
+
+    PartialResult<Set<String>> result = Build.unreachable(graph, "B", TraversalBudget.unlimited());
+    assertTrue(result.isComplete());
+    assertEquals(new HashSet<>(Arrays.asList("A", "C")), result.getValue());
+  }
+
+  @Test
+  public void testUnreachableBudgeted_PartialIsSuperset() {
+    Map<String, List<String>> graph = new HashMap<>();
+    graph.put("A", Arrays.asList("B", "C"));
+    graph.put("B", Arrays.asList("D"));
+    graph.put("C", new ArrayList<>());
+    graph.put("D", new ArrayList<>());
+
+    TraversalBudget budget = new TraversalBudget(2, TraversalBudget.UNLIMITED, TraversalBudget.UNLIMITED);
+    PartialResult<Set<String>> result = Build.unreachable(graph, "A", budget);
+    assertFalse(result.isComplete());
+    assertFalse(result.getValue().contains("A"));
+    assertFalse(result.getValue().isEmpty());
+  }
+
+  @Test
+  public void testUnreachableBudgeted_NullNeighbors() {
+    // TreeMap rejects null lookups, so null neighbors must be skipped before containsKey.
+    Map<String, List<String>> sorted = new TreeMap<>();
+    sorted.put("A", Arrays.asList("B", null));
+    sorted.put("B", new ArrayList<>());
+    sorted.put("C", new ArrayList<>());
+    PartialResult<Set<String>> result = Build.unreachable(sorted, "A", TraversalBudget.unlimited());
+    assertTrue(result.isComplete());
+    assertEquals(new HashSet<>(Arrays.asList("C")), result.getValue());
+
+    Map<String, List<String>> withNullKey = new HashMap<>();
+    withNullKey.put("A", Arrays.asList(null, "B"));
+    withNullKey.put("B", new ArrayList<>());
+    withNullKey.put(null, new ArrayList<>());
+    result = Build.unreachable(withNullKey, "A", TraversalBudget.unlimited());
+    assertEquals(new HashSet<>(Arrays.asList((String) null)), result.getValue());
+  }
 }
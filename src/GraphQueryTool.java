@@ -0,0 +1,338 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Command-line tool that loads a graph file into an {@link IntGraph} and answers a stream of
+ * reachability queries, reporting per-phase timings so capacity can be planned offline.
+ *
+ * The graph file has one vertex per line, optionally followed by its neighbors, in either form:
+ * <pre>
+ *   a b          edge list: a -> b
+ *   a: b c d     adjacency: a -> b, a -> c, a -> d
+ * </pre>
+ * Blank lines and lines starting with # are ignored. Every name that appears becomes a vertex.
+ *
+ * Queries are read one per line from the query file, or from stdin if none is given:
+ * <pre>
+ *   canReach FROM TO      true if TO is reachable from FROM
+ *   unreachable FROM      the vertices that cannot be reached from FROM
+ *   longestWord FROM      the longest vertex name reachable from FROM, ties as in Build.longestWord
+ *   selfLoopers FROM      the reachable vertices that have an edge to themselves
+ *   reachers TO           the vertices that can reach TO
+ * </pre>
+ * Answers go to stdout and timings to stderr.
+ */
+public class GraphQueryTool {
+  private static final String USAGE = "Usage: java GraphQueryTool <graph-file> [query-file]";
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final IntGraph<String> graph;
+  private final ReverseIndex<String> reverseIndex;
+  // Traversal scratch space reused across queries; a vertex is marked when mark[v] == epoch.
+  private final int[] mark;
+  private final int[] work;
+  private int[] dfsStack;
+  private int epoch;
+
+  public GraphQueryTool(IntGraph<String> graph) {
+    this.graph = graph;
+    this.reverseIndex = new ReverseIndex<>(graph);
+    this.mark = new int[graph.size()];
+    this.work = new int[graph.size()];
+    this.dfsStack = new int[Math.max(16, graph.size())];
+  }
+
+  public static void main(String[] args) {
+    if (args.length < 1 || args.length > 2) {
+      System.err.println(USAGE);
+      System.exit(2);
+    }
+
+    try {
+      run(args);
+    } catch (NoSuchFileException e) {
+      System.err.println("error: no such file: " + e.getFile());
+      System.err.println(USAGE);
+      System.exit(1);
+    } catch (IOException e) {
+      System.err.println("error: " + e.getMessage());
+      System.err.println(USAGE);
+      System.exit(1);
+    }
+  }
+
+  private static void run(String[] args) throws IOException {
+    long start = System.nanoTime();
+    Map<String, List<String>> adjacency;
+    try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+      adjacency = parseGraph(reader);
+    } catch (NoSuchFileException e) {
+      throw e;
+    } catch (IOException e) {
+      throw new IOException(args[0] + ": " + e.getMessage(), e);
+    }
+    long loadNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    IntGraph<String> graph = IntGraph.fromMap(adjacency);
+    GraphQueryTool tool = new GraphQueryTool(graph);
+    long indexNanos = System.nanoTime() - start;
+
+    BufferedReader queries = args.length == 2
+        ? Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8)
+        : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+    PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+    long[] latencies = new long[1024];
+    int count = 0;
+
+    start = System.nanoTime();
+    try (BufferedReader reader = queries) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        if (line.isEmpty() || line.startsWith("#")) continue;
+
+        long queryStart = System.nanoTime();
+        String answer = tool.answer(line);
+        if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+        latencies[count++] = System.nanoTime() - queryStart;
+        out.println(answer);
+      }
+    }
+    out.flush();
+    long queryNanos = System.nanoTime() - start;
+
+    printTimings(System.err, graph, loadNanos, indexNanos, queryNanos, Arrays.copyOf(latencies, count));
+  }
+
+  /**
+   * Reads a graph file in edge-list or adjacency form, keeping vertices in order of first appearance.
+   *
+   * @param reader the graph file
+   * @return the graph as a map of vertices to neighbors
+   * @throws IOException if the file cannot be read
+   */
+  public static Map<String, List<String>> parseGraph(BufferedReader reader) throws IOException {
+    Map<String, List<String>> graph = new LinkedHashMap<>();
+    String line;
+    int lineNumber = 0;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) continue;
+
+      String source;
+      String rest;
+      int colon = line.indexOf(':');
+      if (colon >= 0) {
+        source = line.substring(0, colon).trim();
+        rest = line.substring(colon + 1).trim();
+      } else {
+        String[] parts = WHITESPACE.split(line, 2);
+        source = parts[0];
+        rest = parts.length > 1 ? parts[1] : "";
+      }
+      if (source.isEmpty()) throw new IOException("line " + lineNumber + ": missing source vertex in \"" + line + "\"");
+
+      List<String> neighbors = graph.computeIfAbsent(source, key -> new ArrayList<>());
+      if (rest.isEmpty()) continue;
+      for (String target : WHITESPACE.split(rest)) {
+        neighbors.add(target);
+        graph.computeIfAbsent(target, key -> new ArrayList<>());
+      }
+    }
+    return graph;
+  }
+
+  /**
+   * Answers a single query line. Unknown vertices can reach nothing and are reached by nothing.
+   *
+   * @param query the query, e.g. "canReach a b"
+   * @return the answer, or a line starting with "error:" if the query is malformed
+   */
+  public String answer(String query) {
+    String[] parts = WHITESPACE.split(query.trim());
+    String command = parts[0];
+
+    switch (command) {
+      case "canReach":
+        if (parts.length != 3) return arityError(command, 2);
+        return String.valueOf(canReach(graph.getId(parts[1]), graph.getId(parts[2])));
+      case "unreachable":
+        if (parts.length != 2) return arityError(command, 1);
+        return unreachable(graph.getId(parts[1]));
+      case "longestWord":
+        if (parts.length != 2) return arityError(command, 1);
+        return longestWord(graph.getId(parts[1]));
+      case "selfLoopers":
+        if (parts.length != 2) return arityError(command, 1);
+        return selfLoopers(graph.getId(parts[1]));
+      case "reachers":
+        if (parts.length != 2) return arityError(command, 1);
+        return join(new ArrayList<>(reverseIndex.reachersOf(parts[1])));
+      default:
+        return "error: unknown query " + command;
+    }
+  }
+
+  private static String arityError(String command, int arguments) {
+    return "error: expected " + arguments + " argument(s) for " + command;
+  }
+
+  private boolean canReach(int source, int destination) {
+    if (source == -1 || destination == -1) return false;
+    if (source == destination) return true;
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    int current = nextEpoch();
+    int top = 0;
+    mark[source] = current;
+    work[top++] = source;
+
+    while (top > 0) {
+      int v = work[--top];
+      for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+        int w = targets[e];
+        if (w == destination) return true;
+        if (mark[w] != current) {
+          mark[w] = current;
+          work[top++] = w;
+        }
+      }
+    }
+    return false;
+  }
+
+  private String unreachable(int source) {
+    int reached = traverse(source);
+    List<String> names = new ArrayList<>(graph.size() - reached);
+    for (int v = 0; v < graph.size(); v++) {
+      if (mark[v] != epoch) names.add(graph.getValue(v));
+    }
+    return join(names);
+  }
+
+  /**
+   * Walks the reachable vertices in the same depth-first preorder as {@link Build#collectReachable},
+   * so ties go to the same word that {@link Build#longestWord} returns.
+   */
+  private String longestWord(int source) {
+    int current = nextEpoch();
+    if (source == -1) return "";
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    String longest = "";
+    int top = 0;
+    dfsStack[top++] = source;
+
+    while (top > 0) {
+      int v = dfsStack[--top];
+      if (mark[v] == current) continue;
+      mark[v] = current;
+
+      String word = graph.getValue(v);
+      if (word.length() > longest.length()) longest = word;
+
+      // A vertex can be pushed once per incoming edge, so the stack may outgrow the vertex count.
+      if (top + offsets[v + 1] - offsets[v] > dfsStack.length) {
+        dfsStack = Arrays.copyOf(dfsStack, Math.max(dfsStack.length * 2, top + offsets[v + 1] - offsets[v]));
+      }
+      for (int e = offsets[v + 1] - 1; e >= offsets[v]; e--) {
+        if (mark[targets[e]] != current) dfsStack[top++] = targets[e];
+      }
+    }
+    return longest;
+  }
+
+  private String selfLoopers(int source) {
+    int reached = traverse(source);
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < reached; i++) {
+      int v = work[i];
+      for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+        if (targets[e] == v) {
+          names.add(graph.getValue(v));
+          break;
+        }
+      }
+    }
+    return join(names);
+  }
+
+  /**
+   * Marks every vertex reachable from the source with the current epoch and leaves their ids in
+   * work[0 .. count - 1], in discovery order.
+   *
+   * @return the number of reachable vertices
+   */
+  private int traverse(int source) {
+    int current = nextEpoch();
+    if (source == -1) return 0;
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    int count = 0;
+    mark[source] = current;
+    work[count++] = source;
+
+    // Work is consumed front to back and never overwritten, so it also records the visit order.
+    for (int head = 0; head < count; head++) {
+      int v = work[head];
+      for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+        int w = targets[e];
+        if (mark[w] != current) {
+          mark[w] = current;
+          work[count++] = w;
+        }
+      }
+    }
+    return count;
+  }
+
+  private int nextEpoch() {
+    if (++epoch == 0) {
+      Arrays.fill(mark, 0);
+      epoch = 1;
+    }
+    return epoch;
+  }
+
+  private static String join(List<String> names) {
+    Collections.sort(names);
+    return names.size() + (names.isEmpty() ? "" : " " + String.join(" ", names));
+  }
+
+  private static void printTimings(PrintStream err, IntGraph<String> graph, long loadNanos, long indexNanos,
+                                   long queryNanos, long[] latencies) {
+    Arrays.sort(latencies);
+    err.printf("vertices=%d edges=%d%n", graph.size(), graph.edgeCount());
+    err.printf("load:        %.1f ms%n", loadNanos / 1e6);
+    err.printf("index build: %.1f ms%n", indexNanos / 1e6);
+    err.printf("queries:     %d in %.1f ms (%.0f queries/sec)%n", latencies.length, queryNanos / 1e6,
+               latencies.length == 0 ? 0.0 : latencies.length / (queryNanos / 1e9));
+    err.printf("latency:     p50 %.3f ms, p99 %.3f ms%n", percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+  }
+
+  private static long percentile(long[] sorted, double fraction) {
+    if (sorted.length == 0) return 0;
+    int rank = (int) Math.ceil(fraction * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+}
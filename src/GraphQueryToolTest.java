@@ -0,0 +1,125 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GraphQueryToolTest {
+
+  private static final String GRAPH =
+      "# mixed edge-list and adjacency lines\n"
+      + "ab: cde f ghij\n"
+      + "cde klmno\n"
+      + "cde f\n"
+      + "f: pqr f\n"
+      + "ghij: cde st\n"
+      + "st ab\n"
+      + "\n"
+      + "lonely\n"
+      + "zz: zz\n";
+
+  private GraphQueryTool buildTool() throws IOException {
+    Map<String, List<String>> graph = GraphQueryTool.parseGraph(new BufferedReader(new StringReader(GRAPH)));
+    return new GraphQueryTool(IntGraph.fromMap(graph));
+  }
+
+  @Test
+  public void testParseGraph() throws IOException {
+    Map<String, List<String>> graph = GraphQueryTool.parseGraph(new BufferedReader(new StringReader(GRAPH)));
+    assertEquals(9, graph.size());
+    assertEquals(Arrays.asList("cde", "f", "ghij"), graph.get("ab"));
+    assertEquals(Arrays.asList("klmno", "f"), graph.get("cde"));
+    assertTrue(graph.get("lonely").isEmpty());
+    assertTrue(graph.get("pqr").isEmpty());
+  }
+
+  @Test
+  public void testParseGraph_ReportsBadLine() {
+    IOException error = assertThrows(IOException.class,
+        () -> GraphQueryTool.parseGraph(new BufferedReader(new StringReader("a b\n: c\n"))));
+    assertEquals("line 2: missing source vertex in \": c\"", error.getMessage());
+  }
+
+  @Test
+  public void testCanReach() throws IOException {
+    GraphQueryTool tool = buildTool();
+    assertEquals("true", tool.answer("canReach ab pqr"));
+    assertEquals("true", tool.answer("canReach st klmno"));
+    assertEquals("false", tool.answer("canReach klmno ab"));
+    assertEquals("true", tool.answer("canReach lonely lonely"));
+    assertEquals("false", tool.answer("canReach missing ab"));
+  }
+
+  @Test
+  public void testUnreachable() throws IOException {
+    GraphQueryTool tool = buildTool();
+    assertEquals("2 lonely zz", tool.answer("unreachable ab"));
+    assertEquals("8 ab cde f ghij klmno lonely st zz", tool.answer("unreachable pqr"));
+    assertEquals("9 ab cde f ghij klmno lonely pqr st zz", tool.answer("unreachable missing"));
+  }
+
+  @Test
+  public void testLongestWordAndSelfLoopers() throws IOException {
+    GraphQueryTool tool = buildTool();
+    assertEquals("klmno", tool.answer("longestWord ab"));
+    assertEquals("pqr", tool.answer("longestWord f"));
+    assertEquals("", tool.answer("longestWord missing"));
+    assertEquals("1 f", tool.answer("selfLoopers ab"));
+    assertEquals("1 zz", tool.answer("selfLoopers zz"));
+  }
+
+  /**
+   * Builds the same graph out of Vertex objects, so answers can be compared with Build.
+   */
+  private Map<String, Vertex<String>> toVertices(Map<String, List<String>> graph) {
+    Map<String, Vertex<String>> vertices = new HashMap<>();
+    for (String name : graph.keySet()) vertices.put(name, new Vertex<>(name));
+    for (Map.Entry<String, List<String>> entry : graph.entrySet()) {
+      for (String target : entry.getValue()) vertices.get(entry.getKey()).neighbors.add(vertices.get(target));
+    }
+    return vertices;
+  }
+
+  @Test
+  public void testLongestWord_TiesMatchBuild() throws IOException {
+    // BFS order would reach "qq" first, but DFS preorder reaches "rr" first.
+    String file = "a: p qq\np: rr\nqq: zz\nzz: a\n";
+    Map<String, List<String>> graph = GraphQueryTool.parseGraph(new BufferedReader(new StringReader(file)));
+    GraphQueryTool tool = new GraphQueryTool(IntGraph.fromMap(graph));
+    Map<String, Vertex<String>> vertices = toVertices(graph);
+
+    assertEquals("rr", Build.longestWord(vertices.get("a")));
+    for (String name : graph.keySet()) {
+      assertEquals(Build.longestWord(vertices.get(name)), tool.answer("longestWord " + name));
+    }
+
+    Map<String, List<String>> complex = GraphQueryTool.parseGraph(new BufferedReader(new StringReader(GRAPH)));
+    GraphQueryTool complexTool = new GraphQueryTool(IntGraph.fromMap(complex));
+    Map<String, Vertex<String>> complexVertices = toVertices(complex);
+    for (String name : complex.keySet()) {
+      assertEquals(Build.longestWord(complexVertices.get(name)), complexTool.answer("longestWord " + name));
+    }
+  }
+
+  @Test
+  public void testReachers() throws IOException {
+    GraphQueryTool tool = buildTool();
+    assertEquals("5 ab cde f ghij st", tool.answer("reachers f"));
+    assertEquals("0", tool.answer("reachers missing"));
+  }
+
+  @Test
+  public void testMalformedQueries() throws IOException {
+    GraphQueryTool tool = buildTool();
+    assertEquals("error: expected 2 argument(s) for canReach", tool.answer("canReach ab"));
+    assertEquals("error: expected 1 argument(s) for longestWord", tool.answer("longestWord ab f"));
+    assertEquals("error: unknown query bogus", tool.answer("bogus"));
+    assertEquals("error: unknown query bogus", tool.answer("bogus a b"));
+    assertEquals("error: unknown query shortestPath", tool.answer("shortestPath ab f"));
+  }
+}
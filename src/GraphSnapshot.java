@@ -0,0 +1,284 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * An airport graph together with the indexes derived from it (vertex ids, reverse edges and
+ * strongly connected components), which can be saved to and restored from a binary file so a
+ * restart does not have to rebuild them.
+ *
+ * The file is a fixed header followed by raw little-endian int arrays and one UTF-8 string blob:
+ * <pre>
+ *   magic, version, vertexCount, edgeCount, componentCount, stringBytes, checksum
+ *   offsets[vertexCount + 1], targets[edgeCount]
+ *   reverseOffsets[vertexCount + 1], reverseTargets[edgeCount]
+ *   componentOf[vertexCount]
+ *   stringOffsets[2 * vertexCount + 1], strings[stringBytes]
+ * </pre>
+ * Strings are stored as name then airport code for each vertex id. The arrays are copied straight
+ * out of the read buffer, so loading does no per-element parsing beyond decoding the strings.
+ * The checksum is a CRC32C of every byte in the file except the checksum itself. Loading checks
+ * the file size against the header, verifies the checksum and checks the arrays against each
+ * other, so a damaged file is reported as an IOException rather than a broken graph. The
+ * checksum does not protect against a file deliberately rewritten with a matching checksum.
+ */
+public class GraphSnapshot {
+  static final int MAGIC = 0x44465347;
+  static final int VERSION = 2;
+
+  private static final int HEADER_INTS = 7;
+  // The checksum is the last header int; the checksum covers the header bytes before it.
+  private static final int CHECKSUMMED_HEADER_BYTES = (HEADER_INTS - 1) * Integer.BYTES;
+  private static final int BUFFER_BYTES = 8 << 20;
+
+  private final IntGraph<Airport> graph;
+  private final ReverseIndex<Airport> reverseIndex;
+  private final StronglyConnectedComponents<Airport> components;
+
+  public GraphSnapshot(IntGraph<Airport> graph, ReverseIndex<Airport> reverseIndex,
+                       StronglyConnectedComponents<Airport> components) {
+    if (reverseIndex.getGraph() != graph || components.getGraph() != graph) {
+      throw new IllegalArgumentException("Indexes were not built from the same graph");
+    }
+    this.graph = graph;
+    this.reverseIndex = reverseIndex;
+    this.components = components;
+  }
+
+  /**
+   * Builds the graph and all derived indexes from scratch.
+   *
+   * @param airports the airports to start from; every airport reachable from them is included
+   * @return the snapshot
+   */
+  public static GraphSnapshot build(Collection<Airport> airports) {
+    IntGraph<Airport> graph = IntGraph.fromAirports(airports);
+    return new GraphSnapshot(graph, new ReverseIndex<>(graph), StronglyConnectedComponents.of(graph));
+  }
+
+  public IntGraph<Airport> getGraph() {
+    return graph;
+  }
+
+  public ReverseIndex<Airport> getReverseIndex() {
+    return reverseIndex;
+  }
+
+  public StronglyConnectedComponents<Airport> getComponents() {
+    return components;
+  }
+
+  /**
+   * Writes this snapshot to the given file, replacing any existing content. The data is written to
+   * a temporary file in the same directory, forced to disk and then atomically moved into place,
+   * so a failed save leaves the previous snapshot intact.
+   *
+   * @param path the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public void save(Path path) throws IOException {
+    int n = graph.size();
+    int[] stringOffsets = new int[2 * n + 1];
+    byte[][] strings = new byte[2 * n][];
+    for (int v = 0; v < n; v++) {
+      Airport airport = graph.getValue(v);
+      strings[2 * v] = airport.getName().getBytes(StandardCharsets.UTF_8);
+      strings[2 * v + 1] = airport.getAirportCode().getBytes(StandardCharsets.UTF_8);
+    }
+    for (int i = 0; i < strings.length; i++) stringOffsets[i + 1] = stringOffsets[i] + strings[i].length;
+
+    Path target = path.toAbsolutePath();
+    Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+    try {
+      writeTo(temp, stringOffsets, strings);
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private void writeTo(Path path, int[] stringOffsets, byte[][] strings) throws IOException {
+    int n = graph.size();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_INTS * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(graph.edgeCount())
+          .putInt(components.getComponentCount()).putInt(stringOffsets[2 * n]);
+      CRC32C checksum = new CRC32C();
+      checksum.update(header.array(), 0, CHECKSUMMED_HEADER_BYTES);
+
+      // Stream the payload after the header, then go back and write the header with the checksum.
+      channel.position(HEADER_INTS * Integer.BYTES);
+      ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      IntGraph<Airport> reverse = reverseIndex.getReverse();
+      writeInts(channel, buffer, checksum, graph.getOffsets());
+      writeInts(channel, buffer, checksum, graph.getTargets());
+      writeInts(channel, buffer, checksum, reverse.getOffsets());
+      writeInts(channel, buffer, checksum, reverse.getTargets());
+      writeInts(channel, buffer, checksum, components.getComponentIds());
+      writeInts(channel, buffer, checksum, stringOffsets);
+      for (byte[] string : strings) {
+        for (int written = 0; written < string.length; ) {
+          if (!buffer.hasRemaining()) drain(channel, buffer, checksum);
+          int chunk = Math.min(buffer.remaining(), string.length - written);
+          buffer.put(string, written, chunk);
+          written += chunk;
+        }
+      }
+      drain(channel, buffer, checksum);
+
+      header.putInt((int) checksum.getValue()).flip();
+      while (header.hasRemaining()) channel.write(header, header.position());
+      channel.force(true);
+    }
+  }
+
+  /**
+   * Restores a snapshot written by {@link #save(Path)}.
+   *
+   * @param path the file to read
+   * @return the restored snapshot
+   * @throws IOException if the file cannot be read or is not a supported snapshot
+   */
+  public static GraphSnapshot load(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.limit(HEADER_INTS * Integer.BYTES);
+      fill(channel, buffer);
+      buffer.flip();
+      CRC32C checksum = new CRC32C();
+      checksum.update(buffer.duplicate().limit(CHECKSUMMED_HEADER_BYTES));
+      if (buffer.getInt() != MAGIC) throw new IOException("Not a graph snapshot: " + path);
+      int version = buffer.getInt();
+      if (version != VERSION) throw new IOException("Unsupported snapshot version " + version + " in " + path);
+      int n = buffer.getInt();
+      int m = buffer.getInt();
+      int componentCount = buffer.getInt();
+      int stringBytes = buffer.getInt();
+      int expectedChecksum = buffer.getInt();
+      if (n < 0 || m < 0 || componentCount < 0 || stringBytes < 0 || componentCount > n
+          || 2L * n + 1 > Integer.MAX_VALUE - 8) {
+        throw new IOException("Corrupt snapshot header in " + path);
+      }
+      // Check the header against the real file size before allocating anything it asks for.
+      long expectedInts = HEADER_INTS + 2 * (n + 1L) + 2L * m + n + (2L * n + 1);
+      if (channel.size() != expectedInts * Integer.BYTES + stringBytes) {
+        throw new IOException("Snapshot size does not match its header: " + path);
+      }
+
+      int[] offsets = readInts(channel, buffer, checksum, n + 1);
+      int[] targets = readInts(channel, buffer, checksum, m);
+      int[] reverseOffsets = readInts(channel, buffer, checksum, n + 1);
+      int[] reverseTargets = readInts(channel, buffer, checksum, m);
+      int[] componentOf = readInts(channel, buffer, checksum, n);
+      int[] stringOffsets = readInts(channel, buffer, checksum, 2 * n + 1);
+      byte[] strings = new byte[stringBytes];
+      for (int read = 0; read < stringBytes; ) {
+        buffer.clear().limit(Math.min(BUFFER_BYTES, stringBytes - read));
+        fill(channel, buffer);
+        buffer.flip();
+        checksum.update(buffer.duplicate());
+        int chunk = buffer.remaining();
+        buffer.get(strings, read, chunk);
+        read += chunk;
+      }
+      if ((int) checksum.getValue() != expectedChecksum) {
+        throw new IOException("Snapshot checksum mismatch in " + path);
+      }
+
+      if (stringOffsets[0] != 0 || stringOffsets[2 * n] != stringBytes) {
+        throw new IOException("Corrupt string table in " + path);
+      }
+      for (int i = 0; i < 2 * n; i++) {
+        if (stringOffsets[i] > stringOffsets[i + 1]) throw new IOException("Corrupt string table in " + path);
+      }
+
+      List<Airport> airports = new ArrayList<>(n);
+      for (int v = 0; v < n; v++) {
+        String name = new String(strings, stringOffsets[2 * v], stringOffsets[2 * v + 1] - stringOffsets[2 * v], StandardCharsets.UTF_8);
+        String code = new String(strings, stringOffsets[2 * v + 1], stringOffsets[2 * v + 2] - stringOffsets[2 * v + 1], StandardCharsets.UTF_8);
+        airports.add(new Airport(name, code, new ArrayList<>()));
+      }
+
+      // The IntGraph and component constructors check offsets, target ranges and component ids.
+      GraphSnapshot snapshot;
+      try {
+        IntGraph<Airport> graph = new IntGraph<>(airports, offsets, targets);
+        IntGraph<Airport> reverse = new IntGraph<>(airports, reverseOffsets, reverseTargets);
+        snapshot = new GraphSnapshot(graph, new ReverseIndex<>(graph, reverse),
+                                     new StronglyConnectedComponents<>(graph, componentOf, componentCount));
+      } catch (IllegalArgumentException e) {
+        throw new IOException("Corrupt snapshot " + path + ": " + e.getMessage(), e);
+      }
+      checkInDegrees(path, targets, reverseOffsets);
+
+      // Every airport exists now, so outbound flight lists can refer to any of them.
+      for (int v = 0; v < n; v++) {
+        List<Airport> flights = airports.get(v).getOutboundFlights();
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) flights.add(airports.get(targets[e]));
+      }
+      return snapshot;
+    }
+  }
+
+  /**
+   * Checks that every vertex has as many reverse edges as it has incoming forward edges.
+   */
+  private static void checkInDegrees(Path path, int[] targets, int[] reverseOffsets) throws IOException {
+    int[] inDegree = new int[reverseOffsets.length - 1];
+    for (int target : targets) inDegree[target]++;
+    for (int v = 0; v < inDegree.length; v++) {
+      if (reverseOffsets[v + 1] - reverseOffsets[v] != inDegree[v]) {
+        throw new IOException("Reverse edges do not match the graph in " + path);
+      }
+    }
+  }
+
+  private static void writeInts(FileChannel channel, ByteBuffer buffer, CRC32C checksum, int[] values) throws IOException {
+    for (int written = 0; written < values.length; ) {
+      if (buffer.remaining() < Integer.BYTES) drain(channel, buffer, checksum);
+      int chunk = Math.min(buffer.remaining() / Integer.BYTES, values.length - written);
+      buffer.asIntBuffer().put(values, written, chunk);
+      buffer.position(buffer.position() + chunk * Integer.BYTES);
+      written += chunk;
+    }
+  }
+
+  private static int[] readInts(FileChannel channel, ByteBuffer buffer, CRC32C checksum, int count) throws IOException {
+    int[] values = new int[count];
+    for (int read = 0; read < count; ) {
+      int chunk = Math.min(BUFFER_BYTES / Integer.BYTES, count - read);
+      buffer.clear().limit(chunk * Integer.BYTES);
+      fill(channel, buffer);
+      buffer.flip();
+      checksum.update(buffer.duplicate());
+      IntBuffer ints = buffer.asIntBuffer();
+      ints.get(values, read, chunk);
+      read += chunk;
+    }
+    return values;
+  }
+
+  private static void drain(FileChannel channel, ByteBuffer buffer, CRC32C checksum) throws IOException {
+    buffer.flip();
+    checksum.update(buffer.duplicate());
+    while (buffer.hasRemaining()) channel.write(buffer);
+    buffer.clear();
+  }
+
+  private static void fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) throw new IOException("Snapshot file is truncated");
+    }
+  }
+}
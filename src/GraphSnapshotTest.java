@@ -0,0 +1,187 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+public class GraphSnapshotTest {
+
+  // Int positions in a snapshot of the eight-airport, eight-flight fixture.
+  private static final int CHECKSUM_INT = 6;
+  private static final int OFFSETS_INT = 7;
+  private static final int TARGETS_INT = 16;
+  private static final int REVERSE_OFFSETS_INT = 24;
+  private static final int REVERSE_TARGETS_INT = 33;
+  private static final int COMPONENT_IDS_INT = 41;
+  private static final int STRING_OFFSETS_INT = 49;
+
+  private Airport byCode(IntGraph<Airport> graph, String code) {
+    for (Airport airport : graph.getValues()) {
+      if (airport.getAirportCode().equals(code)) return airport;
+    }
+    return null;
+  }
+
+  @Test
+  public void testSaveAndLoad_RoundTrip() throws IOException {
+    // The shared fixture plus ORD -> ZRH, to round-trip a non-ASCII name.
+    List<Airport> airports = new ArrayList<>(TestAirports.buildAirports());
+    Airport zurich = new Airport("Flughafen Zürich", "ZRH", new ArrayList<>());
+    airports.get(2).getOutboundFlights().add(zurich);
+
+    GraphSnapshot original = GraphSnapshot.build(airports);
+    Path file = Files.createTempFile("graph", ".snapshot");
+    try {
+      original.save(file);
+      GraphSnapshot restored = GraphSnapshot.load(file);
+
+      IntGraph<Airport> graph = restored.getGraph();
+      assertEquals(original.getGraph().size(), graph.size());
+      assertArrayEquals(original.getGraph().getOffsets(), graph.getOffsets());
+      assertArrayEquals(original.getGraph().getTargets(), graph.getTargets());
+      assertArrayEquals(original.getComponents().getComponentIds(), restored.getComponents().getComponentIds());
+      assertEquals(original.getComponents().getComponentCount(), restored.getComponents().getComponentCount());
+
+      Airport jfk = byCode(graph, "JFK");
+      Airport zrh = byCode(graph, "ZRH");
+      Airport sea = byCode(graph, "SEA");
+      assertEquals("Flughafen Zürich", zrh.getName());
+      assertTrue(Build.canReach(jfk, zrh));
+      assertFalse(Build.canReach(sea, jfk));
+      assertTrue(restored.getComponents().inSameComponent(jfk, byCode(graph, "ORD")));
+      assertEquals(new HashSet<>(Arrays.asList("ZRH", "ORD", "JFK", "ATL")),
+                   TestAirports.codes(restored.getReverseIndex().reachersOf(zrh)));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testSaveAndLoad_Empty() throws IOException {
+    GraphSnapshot original = GraphSnapshot.build(new ArrayList<>());
+    Path file = Files.createTempFile("graph", ".snapshot");
+    try {
+      original.save(file);
+      assertEquals(0, GraphSnapshot.load(file).getGraph().size());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testSave_ReplacesExistingSnapshotWithoutLeftovers() throws IOException {
+    Path directory = Files.createTempDirectory("snapshots");
+    Path file = directory.resolve("graph.snapshot");
+    try {
+      GraphSnapshot.build(TestAirports.buildAirports()).save(file);
+      GraphSnapshot.build(new ArrayList<>()).save(file);
+
+      assertEquals(0, GraphSnapshot.load(file).getGraph().size());
+      try (Stream<Path> files = Files.list(directory)) {
+        assertEquals(Arrays.asList(file), files.collect(Collectors.toList()));
+      }
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(directory);
+    }
+  }
+
+  @Test
+  public void testLoad_RejectsOtherVersion() throws IOException {
+    Path file = Files.createTempFile("graph", ".snapshot");
+    try {
+      GraphSnapshot.build(TestAirports.buildAirports()).save(file);
+      byte[] bytes = Files.readAllBytes(file);
+      ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(4, GraphSnapshot.VERSION + 1);
+      Files.write(file, bytes);
+
+      IOException error = assertThrows(IOException.class, () -> GraphSnapshot.load(file));
+      assertTrue(error.getMessage().contains("version"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Saves a snapshot, overwrites ints of the file given as (int index, value) pairs, and expects
+   * load to fail with a message containing the given text. With restampChecksum the stored
+   * checksum is recomputed, so the structural checks behind it are exercised.
+   */
+  private void assertRejectsCorruptInts(String message, boolean restampChecksum, int... indexValuePairs) throws IOException {
+    Path file = Files.createTempFile("graph", ".snapshot");
+    try {
+      GraphSnapshot.build(TestAirports.buildAirports()).save(file);
+      byte[] bytes = Files.readAllBytes(file);
+      ByteBuffer ints = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+      for (int i = 0; i < indexValuePairs.length; i += 2) {
+        ints.putInt(indexValuePairs[i] * Integer.BYTES, indexValuePairs[i + 1]);
+      }
+      if (restampChecksum) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes, 0, CHECKSUM_INT * Integer.BYTES);
+        checksum.update(bytes, (CHECKSUM_INT + 1) * Integer.BYTES, bytes.length - (CHECKSUM_INT + 1) * Integer.BYTES);
+        ints.putInt(CHECKSUM_INT * Integer.BYTES, (int) checksum.getValue());
+      }
+      Files.write(file, bytes);
+
+      IOException error = assertThrows(IOException.class, () -> GraphSnapshot.load(file));
+      assertTrue(error.getMessage(), error.getMessage().contains(message));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testLoad_RejectsCorruptHeader() throws IOException {
+    // Header ints: magic, version, vertexCount, edgeCount, componentCount, stringBytes, checksum.
+    assertRejectsCorruptInts("Corrupt snapshot header", false, 2, Integer.MAX_VALUE);
+    assertRejectsCorruptInts("does not match its header", false, 2, 1 << 29);
+    assertRejectsCorruptInts("does not match its header", false, 3, 1 << 29);
+    assertRejectsCorruptInts("Corrupt snapshot header", false, 4, 99);
+    assertRejectsCorruptInts("Corrupt snapshot header", false, 5, -1);
+    assertRejectsCorruptInts("checksum", false, 4, 6);
+  }
+
+  @Test
+  public void testLoad_RejectsInRangeCorruption() throws IOException {
+    // Values that pass every structural check are still caught by the checksum.
+    assertRejectsCorruptInts("checksum", false, REVERSE_TARGETS_INT, 5);
+    assertRejectsCorruptInts("checksum", false, COMPONENT_IDS_INT, 0, COMPONENT_IDS_INT + 1, 0);
+    assertRejectsCorruptInts("checksum", false, CHECKSUM_INT, 12345);
+  }
+
+  @Test
+  public void testLoad_RejectsInconsistentArrays() throws IOException {
+    assertRejectsCorruptInts("Target out of range", true, TARGETS_INT, 8);
+    assertRejectsCorruptInts("Target out of range", true, TARGETS_INT, -1);
+    assertRejectsCorruptInts("Offsets decrease", true, OFFSETS_INT + 2, 8);
+    assertRejectsCorruptInts("Reverse edges do not match", true, REVERSE_OFFSETS_INT + 1, 1);
+    assertRejectsCorruptInts("Reverse edges do not match", true, REVERSE_OFFSETS_INT + 2, 1);
+    assertRejectsCorruptInts("Component id out of range", true, COMPONENT_IDS_INT, 7);
+    assertRejectsCorruptInts("Corrupt string table", true, STRING_OFFSETS_INT + 1, 1 << 20);
+  }
+
+  @Test
+  public void testLoad_RejectsTruncatedFile() throws IOException {
+    Path file = Files.createTempFile("graph", ".snapshot");
+    try {
+      GraphSnapshot.build(TestAirports.buildAirports()).save(file);
+      byte[] bytes = Files.readAllBytes(file);
+      Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+      assertThrows(IOException.class, () -> GraphSnapshot.load(file));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
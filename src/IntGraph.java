@@ -0,0 +1,262 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact, immutable view of a directed graph where every vertex is numbered 0..size()-1 and
+ * edges are stored in compressed sparse row form: the neighbors of vertex v are
+ * targets[offsets[v]] .. targets[offsets[v + 1] - 1]. Algorithms that need to scale to millions
+ * of edges work on these int arrays instead of chasing object references.
+ *
+ * @param <T> the type of the original vertices
+ */
+public class IntGraph<T> {
+  private final List<T> values;
+  private final int[] offsets;
+  private final int[] targets;
+  // Built on first lookup; volatile so graphs shared between threads see a fully built map.
+  private volatile Map<T, Integer> ids;
+
+  /**
+   * Creates a graph from already numbered vertices.
+   *
+   * @param values the original vertex for each id
+   * @param offsets the start of each vertex's neighbors in targets, with one extra trailing entry
+   * @param targets the neighbor ids of all vertices, grouped by source
+   * @throws IllegalArgumentException if the offsets or targets do not describe a valid graph
+   */
+  public IntGraph(List<T> values, int[] offsets, int[] targets) {
+    int n = values.size();
+    if (offsets.length != n + 1 || offsets[0] != 0 || offsets[n] != targets.length) {
+      throw new IllegalArgumentException("Offsets do not match the vertices and targets");
+    }
+    for (int v = 0; v < n; v++) {
+      if (offsets[v] > offsets[v + 1]) throw new IllegalArgumentException("Offsets decrease at vertex " + v);
+    }
+    for (int e = 0; e < targets.length; e++) {
+      if (targets[e] < 0 || targets[e] >= n) throw new IllegalArgumentException("Target out of range at edge " + e);
+    }
+    this.values = values;
+    this.offsets = offsets;
+    this.targets = targets;
+  }
+
+  public int size() {
+    return values.size();
+  }
+
+  public int edgeCount() {
+    return targets.length;
+  }
+
+  public T getValue(int id) {
+    return values.get(id);
+  }
+
+  public List<T> getValues() {
+    return Collections.unmodifiableList(values);
+  }
+
+  /**
+   * Returns the offsets array. Callers must not modify it.
+   */
+  public int[] getOffsets() {
+    return offsets;
+  }
+
+  /**
+   * Returns the targets array. Callers must not modify it.
+   */
+  public int[] getTargets() {
+    return targets;
+  }
+
+  /**
+   * Returns the id of the given vertex, or -1 if it is not part of this graph.
+   *
+   * @param value the original vertex
+   * @return its id, or -1
+   */
+  public int getId(T value) {
+    Map<T, Integer> index = ids;
+    if (index == null) {
+      // Concurrent first calls may each build a map; any of them is correct to publish.
+      index = new HashMap<>(values.size() * 2);
+      for (int i = 0; i < values.size(); i++) index.put(values.get(i), i);
+      ids = index;
+    }
+    Integer id = index.get(value);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * Returns the ids of every vertex reachable from the given source, including the source itself.
+   *
+   * @param source the starting vertex id
+   * @return a flag per vertex id, true if it is reachable
+   */
+  public boolean[] reachableFrom(int source) {
+    boolean[] visited = new boolean[size()];
+    int[] stack = new int[size()];
+    int top = 0;
+    visited[source] = true;
+    stack[top++] = source;
+
+    while (top > 0) {
+      int v = stack[--top];
+      for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+        int w = targets[e];
+        if (!visited[w]) {
+          visited[w] = true;
+          stack[top++] = w;
+        }
+      }
+    }
+
+    return visited;
+  }
+
+  /**
+   * Returns the graph with every edge reversed. Vertex ids and values are shared with this graph.
+   */
+  public IntGraph<T> transpose() {
+    int n = size();
+    int[] reverseOffsets = new int[n + 1];
+    for (int target : targets) reverseOffsets[target + 1]++;
+    for (int v = 0; v < n; v++) reverseOffsets[v + 1] += reverseOffsets[v];
+
+    int[] reverseTargets = new int[targets.length];
+    int[] fill = Arrays.copyOf(reverseOffsets, n);
+    for (int v = 0; v < n; v++) {
+      for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+        reverseTargets[fill[targets[e]]++] = v;
+      }
+    }
+
+    IntGraph<T> reverse = new IntGraph<>(values, reverseOffsets, reverseTargets);
+    reverse.ids = ids;
+    return reverse;
+  }
+
+  /**
+   * Builds a graph of every vertex reachable from the given root. Null neighbors are skipped.
+   *
+   * @param root the starting vertex
+   * @param <V> the type of values stored in the vertices
+   * @return the numbered graph, empty if the root is null
+   */
+  public static <V> IntGraph<Vertex<V>> fromVertex(Vertex<V> root) {
+    Builder<Vertex<V>> builder = new Builder<>();
+    if (root != null) builder.idOf(root);
+    for (int v = 0; v < builder.values.size(); v++) {
+      for (Vertex<V> neighbor : builder.values.get(v).neighbors) {
+        if (neighbor != null) builder.addEdge(builder.idOf(neighbor));
+      }
+      builder.endVertex();
+    }
+    return builder.build();
+  }
+
+  /**
+   * Builds a graph of the given airports and every airport reachable from them by outbound flights.
+   *
+   * @param airports the airports to start from
+   * @return the numbered graph
+   */
+  public static IntGraph<Airport> fromAirports(Collection<Airport> airports) {
+    Builder<Airport> builder = new Builder<>();
+    for (Airport airport : airports) {
+      if (airport != null) builder.idOf(airport);
+    }
+    for (int v = 0; v < builder.values.size(); v++) {
+      for (Airport flight : builder.values.get(v).getOutboundFlights()) {
+        if (flight != null) builder.addEdge(builder.idOf(flight));
+      }
+      builder.endVertex();
+    }
+    return builder.build();
+  }
+
+  /**
+   * Builds a graph from the map form used by {@link Build#unreachable(Map, Object)}. Only keys of
+   * the map become vertices; neighbors that are not keys are ignored.
+   *
+   * @param graph the graph represented as a map of vertices to neighbors
+   * @param <T> the type of values stored in the graph
+   * @return the numbered graph
+   */
+  public static <T> IntGraph<T> fromMap(Map<T, List<T>> graph) {
+    Builder<T> builder = new Builder<>();
+    for (T key : graph.keySet()) builder.idOf(key);
+    for (int v = 0; v < builder.values.size(); v++) {
+      List<T> neighbors = graph.get(builder.values.get(v));
+      if (neighbors != null) {
+        for (T neighbor : neighbors) {
+          Integer id = builder.ids.get(neighbor);
+          if (id != null) builder.addEdge(id);
+        }
+      }
+      builder.endVertex();
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns a list of the Integers 0..size-1 without allocating them up front.
+   */
+  static List<Integer> indexList(int size) {
+    return new AbstractList<Integer>() {
+      @Override
+      public Integer get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+        return index;
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Assigns ids in discovery order and collects edges one source vertex at a time, in id order.
+   */
+  private static class Builder<T> {
+    final List<T> values = new ArrayList<>();
+    final Map<T, Integer> ids = new HashMap<>();
+    int[] offsets = new int[16];
+    int[] targets = new int[16];
+    int vertexCount;
+    int edgeCount;
+
+    int idOf(T value) {
+      Integer id = ids.get(value);
+      if (id != null) return id;
+      ids.put(value, values.size());
+      values.add(value);
+      return values.size() - 1;
+    }
+
+    void addEdge(int target) {
+      if (edgeCount == targets.length) targets = Arrays.copyOf(targets, edgeCount * 2);
+      targets[edgeCount++] = target;
+    }
+
+    void endVertex() {
+      if (vertexCount + 2 > offsets.length) offsets = Arrays.copyOf(offsets, offsets.length * 2);
+      offsets[++vertexCount] = edgeCount;
+    }
+
+    IntGraph<T> build() {
+      IntGraph<T> graph = new IntGraph<>(values, Arrays.copyOf(offsets, vertexCount + 1), Arrays.copyOf(targets, edgeCount));
+      graph.ids = ids;
+      return graph;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the recursive longestWord / printShortWords against the collect-then-reduce versions
+ * on a large random word graph, both end to end and for the reduction phase alone.
+ *
+ * Usage: java ParallelWordsBenchmark [vertices] [maxWordLength] [rounds]
+ */
+public class ParallelWordsBenchmark {
+
+  public static void main(String[] args) throws InterruptedException {
+    int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    int maxWordLength = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+    int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+    int k = maxWordLength / 2;
+
+    Vertex<String> root = buildGraph(vertices, maxWordLength, new Random(42));
+    System.out.printf("vertices=%d maxWordLength=%d k=%d threads=%d%n",
+        vertices, maxWordLength, k, Runtime.getRuntime().availableProcessors());
+
+    PrintStream console = System.out;
+    PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+    for (int round = 1; round <= rounds; round++) {
+      // End to end: the recursive methods against collect-then-reduce, printing into a discarding stream.
+      long[] recursiveNanos = new long[2];
+      String[] recursiveLongest = new String[1];
+      System.setOut(discard);
+      // The recursive helpers need a deep stack on graphs this size; time only the work inside the thread.
+      Thread thread = new Thread(null, () -> {
+        long start = System.nanoTime();
+        recursiveLongest[0] = Build.longestWord(root);
+        recursiveNanos[0] = System.nanoTime() - start;
+        start = System.nanoTime();
+        Build.printShortWords(root, k);
+        recursiveNanos[1] = System.nanoTime() - start;
+      }, "recursive", 1L << 30);
+      thread.start();
+      thread.join();
+
+      long start = System.nanoTime();
+      String parallelLongest = Build.longestWordParallel(root);
+      long parallelLongestNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      Build.printShortWordsParallel(root, k);
+      long parallelPrintNanos = System.nanoTime() - start;
+      System.setOut(console);
+
+      // Reduction phase only: sequential and parallel streams over the same collected list.
+      start = System.nanoTime();
+      List<Vertex<String>> reachable = Build.collectReachable(root);
+      long collectNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      String sequentialLongest = reachable.stream()
+          .map(v -> v.data)
+          .reduce("", (longest, word) -> word.length() > longest.length() ? word : longest);
+      long sequentialLongestNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      String reducedLongest = Build.longestWordOf(reachable);
+      long reducedLongestNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      int sequentialShort = reachable.stream()
+          .map(v -> v.data)
+          .filter(word -> word.length() < k)
+          .collect(Collectors.toList())
+          .size();
+      long sequentialShortNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      int parallelShort = Build.shortWordsOf(reachable, k).size();
+      long parallelShortNanos = System.nanoTime() - start;
+
+      if (!parallelLongest.equals(recursiveLongest[0]) || !reducedLongest.equals(sequentialLongest)
+          || parallelShort != sequentialShort) {
+        throw new IllegalStateException("Results differ");
+      }
+      System.out.printf("round %d end to end: longestWord recursive %.1f ms, parallel %.1f ms | "
+          + "printShortWords recursive %.1f ms, parallel %.1f ms%n",
+          round, recursiveNanos[0] / 1e6, parallelLongestNanos / 1e6, recursiveNanos[1] / 1e6, parallelPrintNanos / 1e6);
+      System.out.printf("round %d reduction: collect %.1f ms | longestWord sequential %.1f ms, parallel %.1f ms | "
+          + "shortWords sequential %.1f ms, parallel %.1f ms (%d words)%n",
+          round, collectNanos / 1e6, sequentialLongestNanos / 1e6, reducedLongestNanos / 1e6,
+          sequentialShortNanos / 1e6, parallelShortNanos / 1e6, parallelShort);
+    }
+  }
+
+  /**
+   * Builds a random graph whose vertices are all reachable from the returned root.
+   */
+  private static Vertex<String> buildGraph(int vertices, int maxWordLength, Random random) {
+    List<Vertex<String>> all = new ArrayList<>(vertices);
+    for (int i = 0; i < vertices; i++) {
+      char[] word = new char[1 + random.nextInt(maxWordLength)];
+      for (int j = 0; j < word.length; j++) word[j] = (char) ('a' + random.nextInt(26));
+      all.add(new Vertex<>(new String(word)));
+    }
+    for (int i = 0; i < vertices; i++) {
+      Vertex<String> vertex = all.get(i);
+      if (i + 1 < vertices) vertex.neighbors.add(all.get(i + 1));
+      vertex.neighbors.add(all.get(random.nextInt(vertices)));
+      vertex.neighbors.add(all.get(random.nextInt(vertices)));
+    }
+    return all.get(0);
+  }
+}
@@ -0,0 +1,24 @@
+/**
+ * The result of a traversal that may have been stopped early by a {@link TraversalBudget}.
+ * When the traversal ran to completion the value is exact; otherwise it reflects only the
+ * part of the graph explored before the budget was exhausted.
+ *
+ * @param <R> the type of the result value
+ */
+public class PartialResult<R> {
+  private final R value;
+  private final boolean complete;
+
+  public R getValue() {
+    return value;
+  }
+
+  public boolean isComplete() {
+    return complete;
+  }
+
+  public PartialResult(R value, boolean complete) {
+    this.value = value;
+    this.complete = complete;
+  }
+}
@@ -0,0 +1,11 @@
+/**
+ * Outcome of a reachability query that may be cut short by a {@link TraversalBudget}.
+ */
+public enum Reachability {
+  /** The destination was found. */
+  REACHABLE,
+  /** The traversal finished without finding the destination. */
+  UNREACHABLE,
+  /** The budget ran out before the traversal could decide either way. */
+  UNKNOWN
+}
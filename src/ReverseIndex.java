@@ -0,0 +1,98 @@
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers "who can reach X" questions. The reversed adjacency is built once, after which each
+ * query costs a single traversal instead of one {@link Build#canReach(Airport, Airport)} call per vertex.
+ *
+ * @param <T> the type of the original vertices
+ */
+public class ReverseIndex<T> {
+  private final IntGraph<T> graph;
+  private final IntGraph<T> reverse;
+
+  public ReverseIndex(IntGraph<T> graph) {
+    this(graph, graph.transpose());
+  }
+
+  /**
+   * Wraps an already reversed graph, for example one restored from disk.
+   *
+   * @param graph the forward graph
+   * @param reverse the same graph with every edge reversed
+   */
+  public ReverseIndex(IntGraph<T> graph, IntGraph<T> reverse) {
+    if (graph.size() != reverse.size() || graph.edgeCount() != reverse.edgeCount()) {
+      throw new IllegalArgumentException("Reverse graph does not match the forward graph");
+    }
+    this.graph = graph;
+    this.reverse = reverse;
+  }
+
+  /**
+   * Indexes the given airports and every airport reachable from them by outbound flights.
+   */
+  public static ReverseIndex<Airport> fromAirports(Collection<Airport> airports) {
+    return new ReverseIndex<>(IntGraph.fromAirports(airports));
+  }
+
+  /**
+   * Indexes every vertex reachable from the given root.
+   */
+  public static <V> ReverseIndex<Vertex<V>> fromVertex(Vertex<V> root) {
+    return new ReverseIndex<>(IntGraph.fromVertex(root));
+  }
+
+  /**
+   * Indexes the keys of a map-form graph; a key A depends on B when B is in A's list.
+   */
+  public static <T> ReverseIndex<T> fromMap(Map<T, List<T>> graph) {
+    return new ReverseIndex<>(IntGraph.fromMap(graph));
+  }
+
+  public IntGraph<T> getGraph() {
+    return graph;
+  }
+
+  public IntGraph<T> getReverse() {
+    return reverse;
+  }
+
+  /**
+   * Returns every indexed vertex that can reach the target, including the target itself.
+   *
+   * @param target the destination
+   * @return the vertices that can reach it, or an empty set if the target is not indexed
+   */
+  public Set<T> reachersOf(T target) {
+    return collect(target, true);
+  }
+
+  /**
+   * Returns every indexed vertex that cannot reach the target.
+   *
+   * @param target the destination
+   * @return the vertices that cannot reach it, or all vertices if the target is not indexed
+   */
+  public Set<T> cannotReach(T target) {
+    return collect(target, false);
+  }
+
+  private Set<T> collect(T target, boolean reachable) {
+    Set<T> result = new HashSet<>();
+    int id = graph.getId(target);
+    if (id == -1) {
+      if (!reachable) result.addAll(graph.getValues());
+      return result;
+    }
+
+    boolean[] reachers = reverse.reachableFrom(id);
+    for (int v = 0; v < reachers.length; v++) {
+      if (reachers[v] == reachable) result.add(graph.getValue(v));
+    }
+    return result;
+  }
+}
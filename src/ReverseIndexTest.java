@@ -0,0 +1,85 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ReverseIndexTest {
+
+  @Test
+  public void testReachersOf_Airports() {
+    List<Airport> airports = TestAirports.buildAirports();
+    ReverseIndex<Airport> index = ReverseIndex.fromAirports(airports);
+
+    // LAS is reached through DFW, which hangs off the JFK/ORD cycle.
+    assertEquals(new HashSet<>(Arrays.asList("LAS", "DFW", "JFK", "ORD", "ATL")),
+                 TestAirports.codes(index.reachersOf(airports.get(6))));
+    assertEquals(new HashSet<>(Arrays.asList("SEA", "SFO", "ATL", "PHX")),
+                 TestAirports.codes(index.reachersOf(airports.get(4))));
+  }
+
+  @Test
+  public void testCannotReach_Airports() {
+    List<Airport> airports = TestAirports.buildAirports();
+    ReverseIndex<Airport> index = ReverseIndex.fromAirports(airports);
+
+    assertEquals(new HashSet<>(Arrays.asList("SFO", "SEA", "PHX")),
+                 TestAirports.codes(index.cannotReach(airports.get(6))));
+  }
+
+  @Test
+  public void testReachersOf_MatchesCanReach() {
+    List<Airport> airports = TestAirports.buildAirports();
+    ReverseIndex<Airport> index = ReverseIndex.fromAirports(airports);
+
+    for (Airport target : airports) {
+      Set<Airport> reachers = index.reachersOf(target);
+      for (Airport source : airports) {
+        assertEquals(Build.canReach(source, target), reachers.contains(source));
+      }
+    }
+  }
+
+  @Test
+  public void testUnknownTarget() {
+    List<Airport> airports = TestAirports.buildAirports();
+    ReverseIndex<Airport> index = ReverseIndex.fromAirports(airports);
+    Airport elsewhere = new Airport("Nowhere", "NOP", new ArrayList<>());
+
+    assertTrue(index.reachersOf(elsewhere).isEmpty());
+    assertEquals(airports.size(), index.cannotReach(elsewhere).size());
+  }
+
+  @Test
+  public void testReachersOf_MapDependents() {
+    Map<String, List<String>> graph = new HashMap<>();
+    graph.put("app", Arrays.asList("web", "core"));
+    graph.put("web", Arrays.asList("core"));
+    graph.put("core", Arrays.asList("util"));
+    graph.put("util", new ArrayList<>());
+    graph.put("tools", Arrays.asList("util"));
+    graph.put("docs", new ArrayList<>());
+
+    ReverseIndex<String> index = ReverseIndex.fromMap(graph);
+    assertEquals(new HashSet<>(Arrays.asList("core", "web", "app")), index.reachersOf("core"));
+    assertEquals(new HashSet<>(Arrays.asList("util", "tools", "docs")), index.cannotReach("core"));
+  }
+
+  @Test
+  public void testReachersOf_Vertex() {
+    Vertex<String> a = new Vertex<>("a");
+    Vertex<String> b = new Vertex<>("b");
+    Vertex<String> c = new Vertex<>("c");
+    a.neighbors.addAll(Arrays.asList(b, c));
+    b.neighbors.add(a);
+
+    ReverseIndex<Vertex<String>> index = ReverseIndex.fromVertex(a);
+    assertEquals(new HashSet<>(Arrays.asList(a, b, c)), index.reachersOf(c));
+    assertEquals(new HashSet<>(Arrays.asList(c)), index.cannotReach(a));
+  }
+}
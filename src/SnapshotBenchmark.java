@@ -0,0 +1,68 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares rebuilding the airport graph and its derived indexes from scratch against restoring
+ * them from a {@link GraphSnapshot}, each measured up to the first answered query.
+ *
+ * Usage: java SnapshotBenchmark [airports] [flightsPerAirport] [rounds]
+ */
+public class SnapshotBenchmark {
+
+  public static void main(String[] args) throws IOException {
+    int airportCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int flightsPerAirport = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+    int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+    // The raw flight table a cold start would rebuild the object graph from.
+    Random random = new Random(42);
+    int[] destinations = new int[airportCount * flightsPerAirport];
+    for (int i = 0; i < destinations.length; i++) destinations[i] = random.nextInt(airportCount);
+    Path file = Files.createTempFile("airports", ".snapshot");
+    try {
+      System.out.printf("airports=%d flights=%d%n", airportCount, (long) airportCount * flightsPerAirport);
+      for (int round = 1; round <= rounds; round++) {
+        // Both timings run until the first reverse query is answered, so each includes building
+        // the airport-to-id lookup map.
+        long start = System.nanoTime();
+        GraphSnapshot cold = GraphSnapshot.build(buildAirports(airportCount, flightsPerAirport, destinations));
+        int coldReachers = cold.getReverseIndex().reachersOf(cold.getGraph().getValue(0)).size();
+        long coldNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        cold.save(file);
+        long saveNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        GraphSnapshot restored = GraphSnapshot.load(file);
+        int restoredReachers = restored.getReverseIndex().reachersOf(restored.getGraph().getValue(0)).size();
+        long loadNanos = System.nanoTime() - start;
+
+        if (restoredReachers != coldReachers
+            || restored.getComponents().getComponentCount() != cold.getComponents().getComponentCount()) {
+          throw new IllegalStateException("Restored snapshot does not match");
+        }
+        System.out.printf("round %d: cold rebuild %.1f ms | save %.1f ms | snapshot restore %.1f ms (%.1f MB)%n",
+            round, coldNanos / 1e6, saveNanos / 1e6, loadNanos / 1e6, Files.size(file) / 1e6);
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static List<Airport> buildAirports(int count, int flightsPerAirport, int[] destinations) {
+    List<Airport> airports = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      airports.add(new Airport("Airport " + i, String.format("A%06d", i), new ArrayList<>(flightsPerAirport)));
+    }
+    for (int i = 0; i < count; i++) {
+      List<Airport> flights = airports.get(i).getOutboundFlights();
+      for (int j = 0; j < flightsPerAirport; j++) flights.add(airports.get(destinations[i * flightsPerAirport + j]));
+    }
+    return airports;
+  }
+}
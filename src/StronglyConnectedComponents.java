@@ -0,0 +1,208 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decomposes a directed graph into strongly connected components using an iterative version of
+ * Tarjan's algorithm over an {@link IntGraph}. Runs in O(V + E) time and never recurses, so it is
+ * safe on graphs with very long paths.
+ *
+ * Components are numbered in topological order of the condensation: every edge of the
+ * condensation DAG goes from a lower component id to a higher one.
+ *
+ * @param <T> the type of the original vertices
+ */
+public class StronglyConnectedComponents<T> {
+  private final IntGraph<T> graph;
+  private final int[] componentOf;
+  private final int componentCount;
+  private IntGraph<Integer> condensation;
+
+  /**
+   * Wraps an existing component assignment, for example one restored from disk.
+   *
+   * @param graph the graph that was decomposed
+   * @param componentOf the component id of every vertex id, in topological order
+   * @param componentCount the number of components
+   * @throws IllegalArgumentException if any component id is outside 0..componentCount-1
+   */
+  public StronglyConnectedComponents(IntGraph<T> graph, int[] componentOf, int componentCount) {
+    if (componentOf.length != graph.size()) {
+      throw new IllegalArgumentException("Component assignment does not match the graph size");
+    }
+    for (int v = 0; v < componentOf.length; v++) {
+      if (componentOf[v] < 0 || componentOf[v] >= componentCount) {
+        throw new IllegalArgumentException("Component id out of range at vertex " + v);
+      }
+    }
+    this.graph = graph;
+    this.componentOf = componentOf;
+    this.componentCount = componentCount;
+  }
+
+  public static <T> StronglyConnectedComponents<T> of(IntGraph<T> graph) {
+    int n = graph.size();
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+
+    int[] index = new int[n];
+    int[] low = new int[n];
+    int[] nextEdge = new int[n];
+    int[] component = new int[n];
+    int[] callStack = new int[n];
+    int[] sccStack = new int[n];
+    Arrays.fill(index, -1);
+    Arrays.fill(component, -1);
+
+    int counter = 0;
+    int count = 0;
+    int callTop = 0;
+    int sccTop = 0;
+
+    for (int root = 0; root < n; root++) {
+      if (index[root] != -1) continue;
+
+      index[root] = low[root] = counter++;
+      nextEdge[root] = offsets[root];
+      sccStack[sccTop++] = root;
+      callStack[callTop++] = root;
+
+      while (callTop > 0) {
+        int v = callStack[callTop - 1];
+
+        if (nextEdge[v] < offsets[v + 1]) {
+          int w = targets[nextEdge[v]++];
+          if (index[w] == -1) {
+            index[w] = low[w] = counter++;
+            nextEdge[w] = offsets[w];
+            sccStack[sccTop++] = w;
+            callStack[callTop++] = w;
+          } else if (component[w] == -1 && index[w] < low[v]) {
+            // A visited vertex without a component is still on the SCC stack.
+            low[v] = index[w];
+          }
+          continue;
+        }
+
+        callTop--;
+        if (low[v] == index[v]) {
+          int w;
+          do {
+            w = sccStack[--sccTop];
+            component[w] = count;
+          } while (w != v);
+          count++;
+        }
+        if (callTop > 0) {
+          int parent = callStack[callTop - 1];
+          if (low[v] < low[parent]) low[parent] = low[v];
+        }
+      }
+    }
+
+    // Tarjan emits components in reverse topological order; flip them.
+    for (int v = 0; v < n; v++) component[v] = count - 1 - component[v];
+
+    return new StronglyConnectedComponents<>(graph, component, count);
+  }
+
+  public static <V> StronglyConnectedComponents<Vertex<V>> ofVertex(Vertex<V> root) {
+    return of(IntGraph.fromVertex(root));
+  }
+
+  public static StronglyConnectedComponents<Airport> ofAirports(Collection<Airport> airports) {
+    return of(IntGraph.fromAirports(airports));
+  }
+
+  public static <T> StronglyConnectedComponents<T> ofMap(Map<T, List<T>> graph) {
+    return of(IntGraph.fromMap(graph));
+  }
+
+  public IntGraph<T> getGraph() {
+    return graph;
+  }
+
+  public int getComponentCount() {
+    return componentCount;
+  }
+
+  /**
+   * Returns the component id of every vertex id. Callers must not modify it.
+   */
+  public int[] getComponentIds() {
+    return componentOf;
+  }
+
+  /**
+   * Returns the component id of the given vertex, or -1 if it is not part of the graph.
+   *
+   * @param value the original vertex
+   * @return its component id, or -1
+   */
+  public int getComponentId(T value) {
+    int id = graph.getId(value);
+    return id == -1 ? -1 : componentOf[id];
+  }
+
+  public boolean inSameComponent(T a, T b) {
+    int first = getComponentId(a);
+    return first != -1 && first == getComponentId(b);
+  }
+
+  /**
+   * Returns the members of every component, indexed by component id.
+   */
+  public List<List<T>> getComponents() {
+    List<List<T>> components = new ArrayList<>(componentCount);
+    for (int c = 0; c < componentCount; c++) components.add(new ArrayList<>());
+    for (int v = 0; v < componentOf.length; v++) components.get(componentOf[v]).add(graph.getValue(v));
+    return components;
+  }
+
+  /**
+   * Returns the condensation DAG: one vertex per component, whose value is the component id, and
+   * one edge for every pair of components joined by at least one edge of the original graph.
+   */
+  public IntGraph<Integer> getCondensation() {
+    if (condensation == null) condensation = buildCondensation();
+    return condensation;
+  }
+
+  private IntGraph<Integer> buildCondensation() {
+    int n = graph.size();
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+
+    // Group vertex ids by component with a counting sort.
+    int[] memberStart = new int[componentCount + 1];
+    for (int v = 0; v < n; v++) memberStart[componentOf[v] + 1]++;
+    for (int c = 0; c < componentCount; c++) memberStart[c + 1] += memberStart[c];
+    int[] members = new int[n];
+    int[] fill = Arrays.copyOf(memberStart, componentCount);
+    for (int v = 0; v < n; v++) members[fill[componentOf[v]]++] = v;
+
+    int[] dagOffsets = new int[componentCount + 1];
+    int[] dagTargets = new int[Math.max(16, Math.min(targets.length, 1 << 20))];
+    int[] lastSource = new int[componentCount];
+    Arrays.fill(lastSource, -1);
+    int edges = 0;
+
+    for (int c = 0; c < componentCount; c++) {
+      for (int i = memberStart[c]; i < memberStart[c + 1]; i++) {
+        int v = members[i];
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+          int d = componentOf[targets[e]];
+          if (d == c || lastSource[d] == c) continue;
+          lastSource[d] = c;
+          if (edges == dagTargets.length) dagTargets = Arrays.copyOf(dagTargets, edges * 2);
+          dagTargets[edges++] = d;
+        }
+      }
+      dagOffsets[c + 1] = edges;
+    }
+
+    return new IntGraph<>(IntGraph.indexList(componentCount), dagOffsets, Arrays.copyOf(dagTargets, edges));
+  }
+}
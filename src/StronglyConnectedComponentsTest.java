@@ -0,0 +1,151 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+public class StronglyConnectedComponentsTest {
+
+  /**
+   * Asserts that every condensation edge goes forward in component order and is not a self-loop.
+   */
+  private void assertTopological(IntGraph<Integer> dag) {
+    int[] offsets = dag.getOffsets();
+    int[] targets = dag.getTargets();
+    for (int c = 0; c < dag.size(); c++) {
+      for (int e = offsets[c]; e < offsets[c + 1]; e++) {
+        assertTrue(targets[e] > c);
+      }
+    }
+  }
+
+  @Test
+  public void testOfVertex_Null() {
+    StronglyConnectedComponents<Vertex<String>> sccs = StronglyConnectedComponents.ofVertex(null);
+    assertEquals(0, sccs.getComponentCount());
+    assertEquals(0, sccs.getCondensation().size());
+  }
+
+  @Test
+  public void testOfVertex_CyclesAndSelfLoop() {
+    // a <-> b -> c -> d -> e -> c, and d -> d
+    Vertex<String> a = new Vertex<>("a");
+    Vertex<String> b = new Vertex<>("b");
+    Vertex<String> c = new Vertex<>("c");
+    Vertex<String> d = new Vertex<>("d");
+    Vertex<String> e = new Vertex<>("e");
+    a.neighbors.add(b);
+    b.neighbors.addAll(Arrays.asList(a, c));
+    c.neighbors.add(d);
+    d.neighbors.addAll(Arrays.asList(d, e));
+    e.neighbors.add(c);
+
+    StronglyConnectedComponents<Vertex<String>> sccs = StronglyConnectedComponents.ofVertex(a);
+    assertEquals(2, sccs.getComponentCount());
+    assertTrue(sccs.inSameComponent(a, b));
+    assertTrue(sccs.inSameComponent(c, e));
+    assertFalse(sccs.inSameComponent(b, c));
+    // {a, b} comes before {c, d, e} topologically.
+    assertTrue(sccs.getComponentId(a) < sccs.getComponentId(c));
+
+    IntGraph<Integer> dag = sccs.getCondensation();
+    assertEquals(1, dag.edgeCount());
+    assertTopological(dag);
+  }
+
+  @Test
+  public void testOfAirports_HubCluster() {
+    Airport jfk = new Airport("John F. Kennedy International Airport", "JFK", new ArrayList<>());
+    Airport ord = new Airport("O'Hare International Airport", "ORD", new ArrayList<>());
+    Airport den = new Airport("Denver International Airport", "DEN", new ArrayList<>());
+    Airport mia = new Airport("Miami International Airport", "MIA", new ArrayList<>());
+    Airport sea = new Airport("Seattle-Tacoma International Airport", "SEA", new ArrayList<>());
+    Airport las = new Airport("McCarran International Airport", "LAS", new ArrayList<>());
+
+    jfk.getOutboundFlights().addAll(Arrays.asList(ord, den, las));
+    ord.getOutboundFlights().addAll(Arrays.asList(jfk, den, mia));
+    den.getOutboundFlights().add(mia);
+    mia.getOutboundFlights().add(sea);
+    sea.getOutboundFlights().add(den);
+
+    StronglyConnectedComponents<Airport> sccs = StronglyConnectedComponents.ofAirports(Arrays.asList(jfk));
+    assertEquals(3, sccs.getComponentCount());
+    assertTrue(sccs.inSameComponent(jfk, ord));
+    assertTrue(sccs.inSameComponent(den, sea));
+    assertFalse(sccs.inSameComponent(las, jfk));
+
+    List<List<Airport>> components = sccs.getComponents();
+    assertEquals(new HashSet<>(Arrays.asList(jfk, ord)),
+                 new HashSet<>(components.get(sccs.getComponentId(jfk))));
+    // ORD -> DEN and ORD -> MIA collapse into a single condensation edge.
+    assertEquals(2, sccs.getCondensation().edgeCount());
+    assertTopological(sccs.getCondensation());
+  }
+
+  @Test
+  public void testOfMap_DependencyCycle() {
+    Map<String, List<String>> graph = new HashMap<>();
+    graph.put("app", Arrays.asList("core", "util"));
+    graph.put("core", Arrays.asList("util", "missing"));
+    graph.put("util", Arrays.asList("core"));
+    graph.put("log", new ArrayList<>());
+
+    StronglyConnectedComponents<String> sccs = StronglyConnectedComponents.ofMap(graph);
+    assertEquals(3, sccs.getComponentCount());
+    assertTrue(sccs.inSameComponent("core", "util"));
+    assertFalse(sccs.inSameComponent("app", "core"));
+    assertEquals(-1, sccs.getComponentId("missing"));
+    assertTopological(sccs.getCondensation());
+  }
+
+  @Test
+  public void testOf_LongCycleNoStackOverflow() {
+    int n = 1_000_000;
+    int[] offsets = new int[n + 1];
+    int[] targets = new int[n];
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] = v + 1;
+      targets[v] = (v + 1) % n;
+    }
+    IntGraph<Integer> ring = new IntGraph<>(IntGraph.indexList(n), offsets, targets);
+
+    StronglyConnectedComponents<Integer> sccs = StronglyConnectedComponents.of(ring);
+    assertEquals(1, sccs.getComponentCount());
+    assertEquals(0, sccs.getCondensation().edgeCount());
+  }
+
+  @Test
+  public void testOf_LongChain() {
+    int n = 1_000_000;
+    int[] offsets = new int[n + 1];
+    int[] targets = new int[n - 1];
+    for (int v = 0; v < n; v++) offsets[v + 1] = Math.min(v + 1, n - 1);
+    for (int v = 0; v < n - 1; v++) targets[v] = v + 1;
+    IntGraph<Integer> chain = new IntGraph<>(IntGraph.indexList(n), offsets, targets);
+
+    StronglyConnectedComponents<Integer> sccs = StronglyConnectedComponents.of(chain);
+    assertEquals(n, sccs.getComponentCount());
+    assertEquals(0, sccs.getComponentIds()[0]);
+    assertEquals(n - 1, sccs.getComponentIds()[n - 1]);
+    assertTopological(sccs.getCondensation());
+  }
+
+  @Test
+  public void testIntGraph_RejectsInvalidArrays() {
+    List<Integer> values = IntGraph.indexList(2);
+    assertThrows(IllegalArgumentException.class, () -> new IntGraph<>(values, new int[] {0, 2, 1}, new int[] {1}));
+    assertThrows(IllegalArgumentException.class, () -> new IntGraph<>(values, new int[] {0, 1, 1}, new int[] {2}));
+    assertThrows(IllegalArgumentException.class, () -> new IntGraph<>(values, new int[] {0, 1, 1}, new int[] {-1}));
+    assertThrows(IllegalArgumentException.class, () -> new IntGraph<>(values, new int[] {1, 1, 1}, new int[] {0}));
+  }
+
+  @Test
+  public void testRejectsComponentIdOutOfRange() {
+    IntGraph<Integer> graph = new IntGraph<>(IntGraph.indexList(2), new int[] {0, 1, 1}, new int[] {1});
+    assertThrows(IllegalArgumentException.class, () -> new StronglyConnectedComponents<>(graph, new int[] {0, 2}, 2));
+  }
+}
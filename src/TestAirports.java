@@ -0,0 +1,40 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Airport fixtures shared by the index and snapshot tests.
+ */
+class TestAirports {
+
+  /**
+   * ATL -> JFK, SFO; JFK -> ORD, DFW; ORD -> JFK; DFW -> LAS; SFO -> SEA; PHX -> SEA
+   */
+  static List<Airport> buildAirports() {
+    Airport atl = new Airport("Hartsfield-Jackson Atlanta International Airport", "ATL", new ArrayList<>());
+    Airport jfk = new Airport("John F. Kennedy International Airport", "JFK", new ArrayList<>());
+    Airport ord = new Airport("O'Hare International Airport", "ORD", new ArrayList<>());
+    Airport sfo = new Airport("San Francisco International Airport", "SFO", new ArrayList<>());
+    Airport sea = new Airport("Seattle-Tacoma International Airport", "SEA", new ArrayList<>());
+    Airport dfw = new Airport("Dallas/Fort Worth International Airport", "DFW", new ArrayList<>());
+    Airport las = new Airport("McCarran International Airport", "LAS", new ArrayList<>());
+    Airport phx = new Airport("Phoenix Sky Harbor International Airport", "PHX", new ArrayList<>());
+
+    atl.getOutboundFlights().addAll(Arrays.asList(jfk, sfo));
+    jfk.getOutboundFlights().addAll(Arrays.asList(ord, dfw));
+    ord.getOutboundFlights().add(jfk);
+    dfw.getOutboundFlights().add(las);
+    sfo.getOutboundFlights().add(sea);
+    phx.getOutboundFlights().add(sea);
+
+    return Arrays.asList(atl, jfk, ord, sfo, sea, dfw, las, phx);
+  }
+
+  static Set<String> codes(Set<Airport> airports) {
+    Set<String> codes = new HashSet<>();
+    for (Airport airport : airports) codes.add(airport.getAirportCode());
+    return codes;
+  }
+}
@@ -0,0 +1,98 @@
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how much work a single traversal may do: the number of vertices visited, the number of
+ * edges scanned, and the wall-clock time since the budget was created. A budget can also be
+ * cancelled from another thread. Budgets are consumed by the traversal they are passed to, so
+ * create a new one for every call.
+ */
+public class TraversalBudget {
+  public static final long UNLIMITED = Long.MAX_VALUE;
+
+  // How many steps pass between clock reads, so the deadline check stays cheap.
+  private static final int CLOCK_CHECK_INTERVAL = 1024;
+
+  private final long maxVertices;
+  private final long maxEdges;
+  private final long timeoutNanos;
+  private final long startNanos;
+  private volatile boolean cancelled;
+  private boolean exhausted;
+  private long verticesVisited;
+  private long edgesScanned;
+  private int stepsSinceClockCheck;
+
+  /**
+   * Creates a budget. Pass {@link #UNLIMITED} for any limit that should not apply.
+   *
+   * @param maxVertices the maximum number of vertices the traversal may visit
+   * @param maxEdges the maximum number of edges the traversal may scan
+   * @param timeoutMillis the maximum time in milliseconds, measured from now
+   */
+  public TraversalBudget(long maxVertices, long maxEdges, long timeoutMillis) {
+    if (maxVertices < 0 || maxEdges < 0 || timeoutMillis < 0) {
+      throw new IllegalArgumentException("Budget limits must not be negative");
+    }
+    this.maxVertices = maxVertices;
+    this.maxEdges = maxEdges;
+    this.timeoutNanos = timeoutMillis == UNLIMITED ? UNLIMITED : TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    this.startNanos = System.nanoTime();
+  }
+
+  public static TraversalBudget unlimited() {
+    return new TraversalBudget(UNLIMITED, UNLIMITED, UNLIMITED);
+  }
+
+  public long getVerticesVisited() {
+    return verticesVisited;
+  }
+
+  public long getEdgesScanned() {
+    return edgesScanned;
+  }
+
+  /**
+   * Asks the traversal using this budget to stop at its next step. Safe to call from any thread.
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Returns true once any limit has been hit or the budget has been cancelled.
+   */
+  public boolean isExhausted() {
+    return exhausted || cancelled;
+  }
+
+  /**
+   * Records a vertex visit.
+   *
+   * @return true if the traversal may continue, false if the budget is exhausted
+   */
+  public boolean tryVisitVertex() {
+    if (verticesVisited >= maxVertices) exhausted = true;
+    else verticesVisited++;
+    return step();
+  }
+
+  /**
+   * Records an edge scan.
+   *
+   * @return true if the traversal may continue, false if the budget is exhausted
+   */
+  public boolean tryScanEdge() {
+    if (edgesScanned >= maxEdges) exhausted = true;
+    else edgesScanned++;
+    return step();
+  }
+
+  private boolean step() {
+    if (exhausted || cancelled) return false;
+    if (timeoutNanos != UNLIMITED && ++stepsSinceClockCheck >= CLOCK_CHECK_INTERVAL) {
+      stepsSinceClockCheck = 0;
+      if (System.nanoTime() - startNanos >= timeoutNanos) exhausted = true;
+    }
+    return !exhausted;
+  }
+}